@@ -1,5 +1,6 @@
 package com.ylz.example.api.controller;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ylz.example.application.dto.CreateUserRequest;
 import com.ylz.example.application.dto.UserResponse;
@@ -25,4 +27,7 @@ public interface UserController {
 
     @GetMapping("/{userId}")
     ResponseEntity<UserResponse> getUser(@PathVariable String userId);
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportUsers();
 }
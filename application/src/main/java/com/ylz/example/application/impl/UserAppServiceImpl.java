@@ -1,5 +1,7 @@
 package com.ylz.example.application.impl;
 
+import java.util.function.Consumer;
+
 import com.ylz.example.application.converter.UserConverter;
 import com.ylz.example.application.dto.CreateUserRequest;
 import com.ylz.example.application.dto.UpdateNickanmeRequest;
@@ -44,4 +46,10 @@ public class UserAppServiceImpl implements UserAppService {
         userRepository.save(user);
     }
 
+    @Override
+    public void exportUsers(Consumer<UserResponse> consumer) {
+        // 逐条转换，避免构建完整的 List<UserResponse>
+        userRepository.forEach(user -> consumer.accept(UserConverter.toDTO(user)));
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.ylz.example.application.service;
 
+import java.util.function.Consumer;
+
 import com.ylz.example.application.dto.CreateUserRequest;
 import com.ylz.example.application.dto.UpdateNickanmeRequest;
 import com.ylz.example.application.dto.UserResponse;
@@ -34,4 +36,11 @@ public interface UserAppService {
      * @param command
      */
     void updateUserNickname(UpdateNickanmeRequest command);
+
+    /**
+     * 导出全部用户（逐条回调，调用方负责写出）
+     * 
+     * @param consumer
+     */
+    void exportUsers(Consumer<UserResponse> consumer);
 }
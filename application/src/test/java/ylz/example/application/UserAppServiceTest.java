@@ -1,5 +1,9 @@
 package ylz.example.application;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -120,5 +124,28 @@ class UserAppServiceTest {
         // 验证未调用保存方法
         verify(userRepository, never()).save(any(User.class));
     }
+
+    /**
+     * 测试流式导出用户
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportUsers() {
+        // 模拟仓储逐条回调
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(0);
+            consumer.accept(new User(new UserId("USER_1"), "first", "1.png"));
+            consumer.accept(new User(new UserId("USER_2"), "second", "2.png"));
+            return null;
+        }).when(userRepository).forEach(any(Consumer.class));
+
+        // 执行导出
+        List<UserResponse> exported = new ArrayList<>();
+        userAppService.exportUsers(exported::add);
+
+        // 验证结果按顺序逐条转换
+        assertEquals(2, exported.size());
+        assertEquals("USER_1", exported.get(0).userId());
+        assertEquals("second", exported.get(1).nickname());
+    }
 }
-    
@@ -1,5 +1,7 @@
 package com.ylz.example.domain.user;
 
+import java.util.function.Consumer;
+
 /**
  * 用户仓储接口
  * @author weizuxiao
@@ -20,4 +22,10 @@ public interface UserRepository {
      */
     User save(User user);
 
+    /**
+     * 逐条遍历全部用户（流式读取，不在内存中聚合）
+     * @param consumer
+     */
+    void forEach(Consumer<User> consumer);
+
 }
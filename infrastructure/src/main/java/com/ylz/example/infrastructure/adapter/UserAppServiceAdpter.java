@@ -2,8 +2,14 @@ package com.ylz.example.infrastructure.adapter;
 
 import org.springframework.stereotype.Service;
 
+import com.ylz.example.application.dto.UpdateNickanmeRequest;
+import com.ylz.example.application.dto.UserResponse;
 import com.ylz.example.application.impl.UserAppServiceImpl;
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
 import com.ylz.example.domain.user.UserRepository;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindBuffer;
+import com.ylz.example.infrastructure.cache.HotUserCache;
 
 import jakarta.transaction.Transactional;
 
@@ -14,8 +20,43 @@ import jakarta.transaction.Transactional;
 @Service
 public class UserAppServiceAdpter extends UserAppServiceImpl {
 
-    public UserAppServiceAdpter(UserRepository userRepository) {
+    private final UserRepository userRepository;
+
+    private final UserWriteBehindBuffer writeBehindBuffer;
+
+    private final HotUserCache hotUserCache;
+
+    public UserAppServiceAdpter(UserRepository userRepository, UserWriteBehindBuffer writeBehindBuffer,
+            HotUserCache hotUserCache) {
         super(userRepository);
+        this.userRepository = userRepository;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.hotUserCache = hotUserCache;
+    }
+
+    /**
+     * 只读查询不开启事务：热点缓存或写回缓冲命中时无需占用连接，未命中时由仓储查询自行获取连接
+     */
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public UserResponse getUserById(String userId) {
+        return super.getUserById(userId);
+    }
+
+    @Override
+    public void updateUserNickname(UpdateNickanmeRequest command) {
+        if (!writeBehindBuffer.isEnabled()) {
+            super.updateUserNickname(command);
+            return;
+        }
+        // 写回模式：领域规则照常执行，持久化交给缓冲批量完成
+        User user = userRepository.findById(new UserId(command.userId()));
+        user.update(User::getNickname, command.nickname());
+        if (writeBehindBuffer.offer(user)) {
+            hotUserCache.update(user); // 刷写后缓冲不再覆盖读取，热点缓存需同步为新值
+        } else {
+            userRepository.save(user); // 缓冲已满或数据无法写入，回退为同步写，错误直接返回调用方
+        }
     }
 
 }
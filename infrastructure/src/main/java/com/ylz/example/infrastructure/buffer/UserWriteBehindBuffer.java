@@ -0,0 +1,270 @@
+package com.ylz.example.infrastructure.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 用户资料写回缓冲
+ * 
+ * 同一用户的多次更新只保留最后一次，按数量或时间批量刷写到数据库；
+ * 刷写成功前，读取方通过 {@link #pending(UserId)} 看到的是缓冲中的最新值。
+ */
+@Slf4j
+@Component
+public class UserWriteBehindBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE `user` SET nickname = ?, avatar = ? WHERE user_id = ? AND deleted = 0";
+
+    /**
+     * 与 user 表字段长度一致（见 .docs/ddl.sql）
+     */
+    private static final int NICKNAME_MAX_LENGTH = 50;
+
+    private static final int AVATAR_MAX_LENGTH = 255;
+
+    private final UserWriteBehindProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Stripe[] stripes;
+
+    /**
+     * 待刷写的用户数量
+     */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+
+    private final Counter droppedCounter;
+
+    private final ScheduledExecutorService scheduler;
+
+    public UserWriteBehindBuffer(UserWriteBehindProperties properties, JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.stripes = new Stripe[Math.max(1, properties.stripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(properties.capacityPerStripe());
+        }
+        Gauge.builder("user.write-behind.depth", depth, AtomicInteger::get)
+                .description("待刷写的用户资料数量")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("user.write-behind.flush")
+                .description("批量刷写耗时")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("user.write-behind.dropped")
+                .description("无法写入而被丢弃的用户资料数量")
+                .register(meterRegistry);
+        if (properties.enabled()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "user-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.flushInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 放入缓冲
+     * 
+     * @param user
+     * @return 未开启、分段已满或数据无法写入时返回 false，调用方应同步写库（由同步写向调用方报告错误）
+     */
+    public boolean offer(User user) {
+        if (!isEnabled() || !isWritable(user) || !stripeOf(user.getId()).put(copy(user))) {
+            return false;
+        }
+        if (depth.get() >= properties.flushSize() && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+        return true;
+    }
+
+    /**
+     * 查询尚未刷写的最新值
+     * 
+     * @param userId
+     * @return
+     */
+    public Optional<User> pending(UserId userId) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(stripeOf(userId).get(userId)).map(this::copy);
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    /**
+     * 将当前缓冲批量写入数据库；写入期间到达的新值会保留到下一次刷写
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushScheduled.set(false);
+            List<User> batch = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                stripe.drainTo(batch);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            flushTimer.record(() -> write(batch));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 批量写入失败时逐条重试，单条数据错误不会阻塞整批
+    private void write(List<User> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, properties.flushSize(), (ps, user) -> {
+                ps.setString(1, user.getNickname());
+                ps.setString(2, user.getAvatar());
+                ps.setString(3, user.getId().value());
+            });
+        } catch (DataAccessException e) {
+            log.warn("用户资料批量写回失败，改为逐条写入：{}", e.getMessage());
+            for (User user : batch) {
+                writeOne(user);
+            }
+            return;
+        }
+        // 仅移除已写入的那一份，期间被覆盖的新值继续等待
+        for (User user : batch) {
+            stripeOf(user.getId()).remove(user);
+        }
+    }
+
+    // 提前拦截可预见的写入失败，避免请求已返回成功而数据在刷写时被丢弃
+    private static boolean isWritable(User user) {
+        return fits(user.getNickname(), NICKNAME_MAX_LENGTH) && fits(user.getAvatar(), AVATAR_MAX_LENGTH);
+    }
+
+    private static boolean fits(String value, int maxLength) {
+        return value != null && value.codePointCount(0, value.length()) <= maxLength;
+    }
+
+    private void writeOne(User user) {
+        try {
+            jdbcTemplate.update(UPDATE_SQL, user.getNickname(), user.getAvatar(), user.getId().value());
+        } catch (NonTransientDataAccessException e) {
+            // 连接类故障保留在缓冲中等待下一次刷写；其余是入队校验无法发现的错误，重试也无法成功，直接丢弃
+            if (e instanceof DataAccessResourceFailureException) {
+                throw e;
+            }
+            droppedCounter.increment();
+            log.error("用户资料写回失败，已丢弃：userId={}, nickname={}, avatar={}",
+                    user.getId(), user.getNickname(), user.getAvatar(), e);
+        }
+        stripeOf(user.getId()).remove(user);
+    }
+
+    /**
+     * 优雅停机时刷写剩余数据
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(properties.flushInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 失败的数据仍留在缓冲中，等待下一次刷写
+            log.error("用户资料写回失败，待刷写数量：{}", depth.get(), e);
+        }
+    }
+
+    private Stripe stripeOf(UserId userId) {
+        return stripes[Math.floorMod(userId.hashCode(), stripes.length)];
+    }
+
+    // 缓冲内保存独立副本，避免调用方修改领域对象影响待写数据
+    private User copy(User user) {
+        return new User(user.getId(), user.getNickname(), user.getAvatar());
+    }
+
+    /**
+     * 缓冲分段：读取无锁，写入与刷写按分段加锁
+     */
+    private final class Stripe {
+
+        private final Map<UserId, User> pending = new ConcurrentHashMap<>();
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        User get(UserId userId) {
+            return pending.get(userId);
+        }
+
+        synchronized boolean put(User user) {
+            if (pending.size() >= capacity && !pending.containsKey(user.getId())) {
+                return false;
+            }
+            if (pending.put(user.getId(), user) == null) {
+                depth.incrementAndGet();
+            }
+            return true;
+        }
+
+        synchronized void drainTo(List<User> batch) {
+            batch.addAll(pending.values());
+        }
+
+        synchronized void remove(User user) {
+            if (pending.remove(user.getId(), user)) {
+                depth.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ylz.example.infrastructure.buffer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 用户资料写回缓冲配置
+ * 
+ * @param enabled           是否开启写回（默认关闭，更新同步落库）
+ * @param stripes           分段数量
+ * @param capacityPerStripe 每个分段最多缓存的用户数，写满后回退为同步写
+ * @param flushSize         待写数量达到该值时触发刷写，同时作为 JDBC 批大小
+ * @param flushInterval     定时刷写间隔
+ */
+@ConfigurationProperties(prefix = "user.write-behind")
+public record UserWriteBehindProperties(
+        boolean enabled,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("1024") int capacityPerStripe,
+        @DefaultValue("200") int flushSize,
+        @DefaultValue("500ms") Duration flushInterval) {
+
+}
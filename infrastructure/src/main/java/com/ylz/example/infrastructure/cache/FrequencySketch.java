@@ -0,0 +1,83 @@
+package com.ylz.example.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 近似访问频率统计（Count-Min Sketch）
+ * 
+ * 每个 key 映射到 4 行计数器，频率取各行最小值；累计访问达到采样数后所有计数减半，使旧热点逐步衰减。
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private final AtomicIntegerArray table;
+
+    private final int width;
+
+    private final int sampleSize;
+
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * @param width 每行计数器数量，向上取整为 2 的幂
+     */
+    public FrequencySketch(int width) {
+        this.width = Integer.highestOneBit(Math.max(2, width) * 2 - 1);
+        this.table = new AtomicIntegerArray(SEEDS.length * this.width);
+        this.sampleSize = this.width * 10;
+    }
+
+    /**
+     * 记录一次访问
+     * 
+     * @param key
+     * @return 记录后的估计频率
+     */
+    public int increment(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, table.incrementAndGet(indexOf(hash, row)));
+        }
+        int count = additions.incrementAndGet();
+        if (count >= sampleSize && additions.compareAndSet(count, count / 2)) {
+            halve();
+        }
+        return frequency;
+    }
+
+    /**
+     * 估计访问频率
+     * 
+     * @param key
+     * @return
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, table.get(indexOf(hash, row)));
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            table.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * width + ((int) h & (width - 1));
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
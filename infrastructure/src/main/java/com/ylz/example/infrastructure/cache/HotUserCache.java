@@ -0,0 +1,248 @@
+package com.ylz.example.infrastructure.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 热点用户本地缓存
+ * 
+ * 通过频率统计识别热点用户并缓存在本地；缓存到期前的访问会触发后台刷新（refresh-ahead），
+ * 热点用户不会同时回源。热点列表定期写入快照，供下一个实例启动时预热。
+ */
+@Slf4j
+@Component
+public class HotUserCache {
+
+    private final HotUserProperties properties;
+
+    private final FrequencySketch sketch;
+
+    private final Map<UserId, Entry> pinned = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    private final ScheduledExecutorService executor;
+
+    public HotUserCache(HotUserProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sketch = new FrequencySketch(properties.sketchWidth());
+        Gauge.builder("user.hot-key.size", pinned, Map::size)
+                .description("已缓存的热点用户数")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("user.hot-key.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("user.hot-key.requests").tag("result", "miss").register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hot-user-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.enabled()) {
+            long interval = properties.snapshotInterval().toMillis();
+            executor.scheduleWithFixedDelay(this::saveSnapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 读取用户：热点用户从本地缓存返回，其余直接回源
+     * 
+     * @param userId
+     * @param loader 回源加载
+     * @return
+     */
+    public User get(UserId userId, Function<UserId, User> loader) {
+        if (!properties.enabled()) {
+            return loader.apply(userId);
+        }
+        int frequency = sketch.increment(userId);
+        Entry entry = pinned.get(userId);
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAt();
+            if (age < properties.expireAfter().toNanos()) {
+                if (age >= properties.refreshAfter().toNanos() && entry.refreshing().compareAndSet(false, true)) {
+                    executor.execute(() -> refresh(userId, loader, entry));
+                }
+                hitCounter.increment();
+                return copy(entry.user());
+            }
+            pinned.remove(userId, entry);
+        }
+        missCounter.increment();
+        User user = loader.apply(userId);
+        if (frequency >= properties.threshold()) {
+            pin(user, frequency);
+        }
+        return user;
+    }
+
+    /**
+     * 直接缓存为热点用户（用于启动预热）
+     * 
+     * @param user
+     */
+    public void pin(User user) {
+        if (properties.enabled()) {
+            pin(user, properties.threshold());
+        }
+    }
+
+    /**
+     * 用户数据变更时同步更新已缓存的值
+     * 
+     * @param user
+     */
+    public void update(User user) {
+        pinned.computeIfPresent(user.getId(), (id, entry) -> new Entry(copy(user)));
+    }
+
+    /**
+     * 当前事务提交后再更新已缓存的值，事务回滚时缓存保持不变
+     * 
+     * @param user
+     */
+    public void updateAfterCommit(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update(user);
+            }
+        });
+    }
+
+    /**
+     * 移除已过期的热点用户后，按访问频率从高到低保存快照
+     * 
+     * 近期仍被访问的热点会被后台刷新，过期的缓存说明已不再热门，不应预热到下一个实例。
+     */
+    public void saveSnapshot() throws IOException {
+        removeExpired();
+        List<String> ids = pinned.keySet().stream()
+                .sorted(Comparator.comparingInt(sketch::frequency).reversed())
+                .limit(properties.warmUpSize())
+                .map(UserId::value)
+                .toList();
+        Path path = properties.snapshotPath().toAbsolutePath();
+        // 多实例共享目录时各自使用独立的临时文件
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName() + ".", ".tmp");
+        try {
+            Files.write(temp, ids, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 读取上一个实例保存的热点用户快照
+     * 
+     * @return 快照不存在时返回空列表
+     */
+    public List<UserId> loadSnapshot() throws IOException {
+        Path path = properties.snapshotPath();
+        if (!properties.enabled() || !Files.exists(path)) {
+            return List.of();
+        }
+        return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .limit(properties.warmUpSize())
+                .map(UserId::new)
+                .toList();
+    }
+
+    public int size() {
+        return pinned.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        saveSnapshotQuietly();
+    }
+
+    private void pin(User user, int frequency) {
+        UserId userId = user.getId();
+        if (!pinned.containsKey(userId) && pinned.size() >= properties.capacity() && !evictColderThan(frequency)) {
+            return;
+        }
+        pinned.put(userId, new Entry(copy(user)));
+    }
+
+    // 容量已满时淘汰频率最低且低于新热点的用户
+    private boolean evictColderThan(int frequency) {
+        return pinned.keySet().stream()
+                .min(Comparator.comparingInt(sketch::frequency))
+                .filter(coldest -> sketch.frequency(coldest) < frequency)
+                .map(coldest -> pinned.remove(coldest) != null)
+                .orElse(false);
+    }
+
+    // 仅替换发起刷新时的那一份，期间 update() 写入的新值不会被较旧的读取覆盖
+    private void refresh(UserId userId, Function<UserId, User> loader, Entry entry) {
+        try {
+            pinned.replace(userId, entry, new Entry(copy(loader.apply(userId))));
+        } catch (RuntimeException e) {
+            // 刷新失败（如用户已删除）时移除，下一次访问同步回源
+            pinned.remove(userId, entry);
+            log.warn("热点用户刷新失败：{}", userId, e);
+        }
+    }
+
+    private void removeExpired() {
+        long expireAfter = properties.expireAfter().toNanos();
+        long now = System.nanoTime();
+        pinned.values().removeIf(entry -> now - entry.loadedAt() >= expireAfter);
+    }
+
+    private void saveSnapshotQuietly() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            saveSnapshot();
+        } catch (IOException e) {
+            log.warn("热点用户快照保存失败：{}", properties.snapshotPath(), e);
+        }
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getNickname(), user.getAvatar());
+    }
+
+    private record Entry(User user, long loadedAt, AtomicBoolean refreshing) {
+
+        Entry(User user) {
+            this(user, System.nanoTime(), new AtomicBoolean());
+        }
+    }
+}
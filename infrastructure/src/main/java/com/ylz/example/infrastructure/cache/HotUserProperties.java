@@ -0,0 +1,34 @@
+package com.ylz.example.infrastructure.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 热点用户缓存配置
+ * 
+ * @param enabled          是否开启
+ * @param threshold        估计访问频率达到该值视为热点
+ * @param capacity         最多缓存的热点用户数
+ * @param sketchWidth      频率统计每行计数器数量
+ * @param refreshAfter     缓存超过该时长后，下一次访问触发后台刷新
+ * @param expireAfter      缓存超过该时长后失效，重新同步加载
+ * @param snapshotPath     热点快照文件，供下一个实例启动时预热
+ * @param snapshotInterval 快照保存间隔
+ * @param warmUpSize       快照保存及预热的用户数（Top-K）
+ */
+@ConfigurationProperties(prefix = "user.hot-key")
+public record HotUserProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int threshold,
+        @DefaultValue("256") int capacity,
+        @DefaultValue("4096") int sketchWidth,
+        @DefaultValue("30s") Duration refreshAfter,
+        @DefaultValue("5m") Duration expireAfter,
+        @DefaultValue("hot-users.snapshot") Path snapshotPath,
+        @DefaultValue("1m") Duration snapshotInterval,
+        @DefaultValue("100") int warmUpSize) {
+
+}
@@ -0,0 +1,53 @@
+package com.ylz.example.infrastructure.cache;
+
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.ylz.example.domain.user.UserId;
+import com.ylz.example.domain.user.UserRepository;
+import com.ylz.example.infrastructure.exception.UserNotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 热点用户预热
+ * 
+ * 启动时按上一个实例的快照预先加载热点用户；ApplicationRunner 执行完成后实例才切换为就绪状态。
+ */
+@Slf4j
+@Component
+public class HotUserWarmUp implements ApplicationRunner {
+
+    private final HotUserCache hotUserCache;
+
+    private final UserRepository userRepository;
+
+    public HotUserWarmUp(HotUserCache hotUserCache, UserRepository userRepository) {
+        this.hotUserCache = hotUserCache;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<UserId> userIds = hotUserCache.loadSnapshot();
+        int loaded = 0;
+        for (UserId userId : userIds) {
+            try {
+                hotUserCache.pin(userRepository.findById(userId));
+                loaded++;
+            } catch (UserNotFoundException e) {
+                // 快照中的用户可能已被删除，跳过
+            } catch (RuntimeException e) {
+                // 预热只是优化，数据库暂时不可用时不阻止启动
+                log.warn("热点用户预热失败：{}", userId, e);
+            }
+        }
+        if (!userIds.isEmpty()) {
+            log.info("热点用户预热完成：{} / {}", loaded, userIds.size());
+        }
+    }
+
+}
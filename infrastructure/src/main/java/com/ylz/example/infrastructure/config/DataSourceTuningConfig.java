@@ -0,0 +1,52 @@
+package com.ylz.example.infrastructure.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.ylz.example.infrastructure.datasource.HikariPoolTuner;
+import com.ylz.example.infrastructure.datasource.MonitoredDataSource;
+import com.ylz.example.infrastructure.datasource.PoolTuningProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 连接池自适应调整配置
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = PoolTuningProperties.PREFIX, name = "enabled", havingValue = "true")
+public class DataSourceTuningConfig {
+
+    /**
+     * 将自动配置的 Hikari 连接池包装为带监控的数据源
+     */
+    @Bean
+    static BeanPostProcessor monitoredDataSourcePostProcessor(Environment environment) {
+        // BeanPostProcessor 早于配置属性 Bean 创建，直接从环境绑定
+        PoolTuningProperties properties = Binder.get(environment)
+                .bindOrCreate(PoolTuningProperties.PREFIX, PoolTuningProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    return new MonitoredDataSource(hikariDataSource, properties.maxWaiters());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    HikariPoolTuner hikariPoolTuner(DataSource dataSource, PoolTuningProperties properties,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        return new HikariPoolTuner((MonitoredDataSource) dataSource, properties, eventPublisher, meterRegistry);
+    }
+
+}
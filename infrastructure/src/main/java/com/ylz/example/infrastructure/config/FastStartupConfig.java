@@ -0,0 +1,35 @@
+package com.ylz.example.infrastructure.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.ylz.example.infrastructure.controller.UserControllerImpl;
+import com.ylz.example.infrastructure.datasource.HikariPoolTuner;
+import com.ylz.example.infrastructure.repository.UserRepositoryImpl;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 快速启动配置
+ * 
+ * 全局延迟初始化下，首个请求链路上的 Bean 仍在启动时创建，避免首个请求承担初始化开销。
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerUserRequestPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class,
+                EntityManagerFactory.class,
+                UserRepositoryImpl.class,
+                UserControllerImpl.class,
+                HikariPoolTuner.class);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.ylz.example.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.ylz.example.infrastructure.limit.UserLimitInterceptor;
+
+/**
+ * Web MVC 配置
+ */
+@Configuration(proxyBeanMethods = false)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final UserLimitInterceptor userLimitInterceptor;
+
+    public WebMvcConfig(UserLimitInterceptor userLimitInterceptor) {
+        this.userLimitInterceptor = userLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(userLimitInterceptor).addPathPatterns("/api/v1/users/**");
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.ylz.example.infrastructure.controller;
+
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.ylz.example.infrastructure.exception.LimitExceededException;
+import com.ylz.example.infrastructure.exception.LimitExceededException.Reason;
+import com.ylz.example.infrastructure.exception.PoolSaturatedException;
+
+/**
+ * 全局异常处理
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * 连接池饱和时快速返回 503，其他数据访问异常保持默认处理
+     */
+    @ExceptionHandler({ TransactionException.class, DataAccessException.class })
+    public ResponseEntity<ProblemDetail> handleDataAccess(NestedRuntimeException e) {
+        if (!e.contains(PoolSaturatedException.class)) {
+            throw e;
+        }
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE, e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem);
+    }
+
+    /**
+     * 速率超限返回 429，并发或连接预算耗尽返回 503
+     */
+    @ExceptionHandler(LimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleLimitExceeded(LimitExceededException e) {
+        HttpStatus status = e.getReason() == Reason.RATE || e.getReason() == Reason.CALLER_RATE
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(status, e.getMessage()));
+    }
+
+}
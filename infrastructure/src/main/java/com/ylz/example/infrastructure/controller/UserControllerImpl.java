@@ -1,11 +1,18 @@
 package com.ylz.example.infrastructure.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.ylz.example.application.dto.CreateUserRequest;
 import com.ylz.example.application.dto.UpdateNickanmeRequest;
 import com.ylz.example.application.dto.UserResponse;
@@ -17,9 +24,12 @@ public class UserControllerImpl implements UserController {
 
     private final UserAppService userAppService;
 
+    private final ObjectMapper objectMapper;
+
     // 构造注入（依赖Spring）
-    public UserControllerImpl(UserAppService userApplicationService) {
+    public UserControllerImpl(UserAppService userApplicationService, ObjectMapper objectMapper) {
         this.userAppService = userApplicationService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -49,4 +59,23 @@ public class UserControllerImpl implements UserController {
         return ResponseEntity.ok(userAppService.getUserById(userId));
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        // 游标读取的每一行直接序列化到输出流，内存占用与数据量无关
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userAppService.exportUsers(user -> {
+                    try {
+                        generator.writeObject(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
 }
\ No newline at end of file
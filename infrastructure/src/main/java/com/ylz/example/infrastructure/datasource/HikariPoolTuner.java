@@ -0,0 +1,166 @@
+package com.ylz.example.infrastructure.datasource;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 连接池自适应调整
+ * 
+ * 按采样周期观察获取连接耗时、活跃/空闲连接数与连接占用时间（读取 Hikari 的 hikaricp.connections.acquire /
+ * usage 指标），在配置范围内调整连接池上限：
+ * 有线程等待或获取耗时超过目标时扩容；连接占用时间过长说明瓶颈在数据库，此时不再扩容；
+ * 空闲连接充足时逐步缩容。出现等待或拒绝时发布 {@link PoolSaturationEvent}。
+ */
+@Slf4j
+public class HikariPoolTuner {
+
+    private final MonitoredDataSource dataSource;
+
+    private final HikariDataSource hikariDataSource;
+
+    private final PoolTuningProperties properties;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter shedCounter;
+
+    private final TimerWindow acquireWindow = new TimerWindow("hikaricp.connections.acquire");
+
+    private final TimerWindow usageWindow = new TimerWindow("hikaricp.connections.usage");
+
+    private final Counter saturationCounter;
+
+    private final ScheduledExecutorService scheduler;
+
+    public HikariPoolTuner(MonitoredDataSource dataSource, PoolTuningProperties properties,
+            ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.hikariDataSource = dataSource.getHikariDataSource();
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("user.datasource.pool.max-size", hikariDataSource, HikariDataSource::getMaximumPoolSize)
+                .description("当前连接池上限")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("user.datasource.pool.shed")
+                .description("因连接池饱和被拒绝的获取请求数")
+                .register(meterRegistry);
+        this.saturationCounter = Counter.builder("user.datasource.pool.saturation")
+                .description("连接池饱和事件数")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hikari-pool-tuner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.sampleInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::tickQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行一次采样与调整
+     */
+    public synchronized void tick() {
+        long shed = dataSource.takeShedCount();
+        double avgAcquireMillis = acquireWindow.averageMillis();
+        double avgUsageMillis = usageWindow.averageMillis();
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+        int active = pool.getActiveConnections();
+        int idle = pool.getIdleConnections();
+        int waiting = pool.getThreadsAwaitingConnection();
+        int current = hikariDataSource.getMaximumPoolSize();
+        shedCounter.increment(shed);
+
+        boolean pressured = waiting > 0 || shed > 0
+                || avgAcquireMillis > properties.targetAcquireLatency().toMillis();
+        boolean slowQueries = avgUsageMillis > properties.slowQueryThreshold().toMillis();
+        int target = current;
+        if (pressured && !slowQueries) {
+            target = Math.min(properties.maxPoolSize(), current + properties.step());
+        } else if (!pressured && idle > properties.step()) {
+            target = Math.max(properties.minPoolSize(), current - 1);
+        }
+        if (target != current) {
+            resize(target);
+            log.info("连接池上限调整：{} → {}（活跃 {}，空闲 {}，等待 {}，平均获取 {} ms，平均占用 {} ms）",
+                    current, target, active, idle, waiting,
+                    String.format("%.1f", avgAcquireMillis), String.format("%.1f", avgUsageMillis));
+        }
+
+        if (shed > 0 || (waiting > 0 && active >= current)) {
+            saturationCounter.increment();
+            PoolSaturationEvent event = new PoolSaturationEvent(
+                    hikariDataSource.getPoolName(), active, idle, waiting, target, shed);
+            log.warn("连接池饱和：{}", event);
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            log.error("连接池调整失败", e);
+        }
+    }
+
+    private void resize(int maxPoolSize) {
+        HikariConfigMXBean config = hikariDataSource.getHikariConfigMXBean();
+        config.setMaximumPoolSize(maxPoolSize);
+        if (config.getMinimumIdle() > maxPoolSize) {
+            config.setMinimumIdle(maxPoolSize);
+        }
+    }
+
+    /**
+     * 计算 Hikari 计时指标在两次采样之间的平均值（毫秒）
+     */
+    private final class TimerWindow {
+
+        private final String name;
+
+        private long lastCount;
+
+        private double lastTotalMillis;
+
+        TimerWindow(String name) {
+            this.name = name;
+        }
+
+        double averageMillis() {
+            Timer timer = meterRegistry.find(name).tag("pool", hikariDataSource.getPoolName()).timer();
+            if (timer == null) {
+                return 0;
+            }
+            long count = timer.count();
+            double totalMillis = timer.totalTime(TimeUnit.MILLISECONDS);
+            long deltaCount = count - lastCount;
+            double deltaMillis = totalMillis - lastTotalMillis;
+            lastCount = count;
+            lastTotalMillis = totalMillis;
+            return deltaCount <= 0 ? 0 : deltaMillis / deltaCount;
+        }
+    }
+}
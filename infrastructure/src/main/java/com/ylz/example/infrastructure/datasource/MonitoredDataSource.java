@@ -0,0 +1,93 @@
+package com.ylz.example.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.ylz.example.infrastructure.exception.PoolSaturatedException;
+import com.ylz.example.infrastructure.limit.Bulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * 带准入控制的连接池
+ * 
+ * 同时获取连接的线程数超过连接池上限加等待上限时直接拒绝，而不是排队等待到连接超时。
+ * 获取耗时与占用时间由 Hikari 自身的 hikaricp.connections.* 指标统计。
+ */
+public class MonitoredDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final HikariDataSource hikariDataSource;
+
+    private final int maxWaiters;
+
+    /**
+     * 正在获取连接的线程数，上限随连接池上限调整
+     */
+    private final Bulkhead admission = new Bulkhead();
+
+    private final LongAdder shedCount = new LongAdder();
+
+    public MonitoredDataSource(HikariDataSource hikariDataSource, int maxWaiters) {
+        super(hikariDataSource);
+        this.hikariDataSource = hikariDataSource;
+        this.maxWaiters = maxWaiters;
+    }
+
+    public HikariDataSource getHikariDataSource() {
+        return hikariDataSource;
+    }
+
+    /**
+     * 替换了原 Hikari Bean，需由此关闭连接池
+     */
+    @Override
+    public void close() {
+        hikariDataSource.close();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return super.getConnection();
+        } finally {
+            admission.release();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            admission.release();
+        }
+    }
+
+    /**
+     * 读取并清零上次调用以来被拒绝的获取请求数
+     * 
+     * @return
+     */
+    public long takeShedCount() {
+        return shedCount.sumThenReset();
+    }
+
+    // 判断与占用在同一次 CAS 中完成，突发请求不会同时越过上限
+    private void admit() throws PoolSaturatedException {
+        int maxPoolSize = hikariDataSource.getMaximumPoolSize();
+        if (admission.tryAcquire(maxPoolSize + maxWaiters)) {
+            return;
+        }
+        shedCount.increment();
+        HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        throw new PoolSaturatedException(
+                pool == null ? 0 : pool.getActiveConnections(),
+                maxPoolSize,
+                pool == null ? admission.inFlight() : pool.getThreadsAwaitingConnection());
+    }
+}
@@ -0,0 +1,21 @@
+package com.ylz.example.infrastructure.datasource;
+
+/**
+ * 连接池饱和事件
+ * 
+ * @param poolName    连接池名称
+ * @param active      活跃连接数
+ * @param idle        空闲连接数
+ * @param waiting     等待连接的线程数
+ * @param maxPoolSize 当前连接池上限
+ * @param shed        本采样周期内被拒绝的获取请求数
+ */
+public record PoolSaturationEvent(
+        String poolName,
+        int active,
+        int idle,
+        int waiting,
+        int maxPoolSize,
+        long shed) {
+
+}
@@ -0,0 +1,33 @@
+package com.ylz.example.infrastructure.datasource;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 连接池自适应调整配置
+ * 
+ * @param enabled              是否开启
+ * @param minPoolSize          连接池上限的调整下界
+ * @param maxPoolSize          连接池上限的调整上界
+ * @param step                 每次扩容的连接数
+ * @param sampleInterval       采样间隔
+ * @param targetAcquireLatency 目标获取连接耗时，超过则扩容
+ * @param slowQueryThreshold   平均连接占用时间超过该值视为数据库瓶颈，不再扩容
+ * @param maxWaiters           同时获取连接的线程数超过连接池上限加该值时直接拒绝新的获取请求
+ */
+@ConfigurationProperties(prefix = PoolTuningProperties.PREFIX)
+public record PoolTuningProperties(
+        boolean enabled,
+        @DefaultValue("5") int minPoolSize,
+        @DefaultValue("30") int maxPoolSize,
+        @DefaultValue("2") int step,
+        @DefaultValue("5s") Duration sampleInterval,
+        @DefaultValue("50ms") Duration targetAcquireLatency,
+        @DefaultValue("500ms") Duration slowQueryThreshold,
+        @DefaultValue("20") int maxWaiters) {
+
+    public static final String PREFIX = "user.datasource.tuning";
+
+}
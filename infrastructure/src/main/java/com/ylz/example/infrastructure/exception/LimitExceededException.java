@@ -0,0 +1,38 @@
+package com.ylz.example.infrastructure.exception;
+
+import lombok.Getter;
+
+/**
+ * 请求被限流或隔离拒绝
+ */
+@Getter
+public class LimitExceededException extends RuntimeException {
+
+    /**
+     * 拒绝原因
+     */
+    public enum Reason {
+        /** 接口速率超限 */
+        RATE,
+        /** 调用方速率超限 */
+        CALLER_RATE,
+        /** 接口并发超限 */
+        CONCURRENCY,
+        /** 调用方并发超限 */
+        CALLER_CONCURRENCY,
+        /** 读/写连接预算耗尽 */
+        BUDGET
+    }
+
+    private final String endpoint;
+
+    private final Reason reason;
+
+    public LimitExceededException(String endpoint, Reason reason) {
+        // 拒绝属于高频的正常流程，不填充堆栈
+        super("请求过多，已被拒绝：" + endpoint + "（" + reason + "）", null, false, false);
+        this.endpoint = endpoint;
+        this.reason = reason;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.ylz.example.infrastructure.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * 连接池已饱和，直接拒绝获取连接，避免等待到连接超时
+ */
+public class PoolSaturatedException extends SQLTransientConnectionException {
+
+    public PoolSaturatedException(int active, int maxPoolSize, int waiting) {
+        super(String.format("数据库连接池已饱和（活跃 %d / 上限 %d，等待 %d），请稍后重试", active, maxPoolSize, waiting));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 无锁并发隔离舱
+ * 
+ * 上限在每次调用时传入，运行时调整配置后立即生效。
+ */
+public class Bulkhead {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * 尝试占用一个并发名额
+     * 
+     * @param limit 并发上限，小于等于 0 表示不限制
+     * @return
+     */
+    public boolean tryAcquire(int limit) {
+        while (true) {
+            int current = inFlight.get();
+            if (limit > 0 && current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,216 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.ylz.example.infrastructure.exception.LimitExceededException;
+import com.ylz.example.infrastructure.exception.LimitExceededException.Reason;
+import com.ylz.example.infrastructure.limit.UserLimitProperties.EndpointLimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 用户接口限流与隔离
+ * 
+ * 依次检查调用方速率、调用方并发、接口速率、接口并发和读/写连接预算，任一不满足即拒绝。
+ * 先检查调用方限额，被自身限额拒绝的调用方不会消耗接口的共享额度。
+ * 读写分别计入独立的连接预算，写请求洪峰不会占满读请求所需的连接。限额可在运行时调整。
+ */
+@Component
+public class EndpointLimiter {
+
+    private static final String OVERFLOW_CALLER = "*";
+
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final UserLimitProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, EndpointLimit> limits = new ConcurrentHashMap<>();
+
+    private final Map<String, Guard> endpointGuards = new ConcurrentHashMap<>();
+
+    private final Map<String, CallerGuards> callerGuards = new ConcurrentHashMap<>();
+
+    /**
+     * 未配置单调用方限额的接口共用，不按调用方记录统计
+     */
+    private final Guard unlimitedCaller = new Guard();
+
+    private final Bulkhead readBudget = new Bulkhead();
+
+    private final Bulkhead writeBudget = new Bulkhead();
+
+    private volatile int readConcurrency;
+
+    private volatile int writeConcurrency;
+
+    public EndpointLimiter(UserLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readConcurrency = properties.readConcurrency();
+        this.writeConcurrency = properties.writeConcurrency();
+        if (properties.endpoints() != null) {
+            limits.putAll(properties.endpoints());
+        }
+    }
+
+    /**
+     * 获取访问许可
+     * 
+     * @param endpoint 接口方法名
+     * @param caller   调用方标识
+     * @param write    是否写请求
+     * @return 请求结束后需调用 {@link Permit#release()}
+     * @throws LimitExceededException 被限流或隔离拒绝
+     */
+    public Permit acquire(String endpoint, String caller, boolean write) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        EndpointLimit limit = limits.getOrDefault(endpoint, EndpointLimit.UNLIMITED);
+        Guard endpointGuard = endpointGuards.computeIfAbsent(endpoint, key -> new Guard());
+        Guard callerGuard = limit.callerRate() > 0 || limit.callerConcurrency() > 0
+                ? callerGuard(endpoint, caller)
+                : unlimitedCaller;
+
+        if (!callerGuard.bucket.tryAcquire(limit.callerRate(), limit.callerBurst())) {
+            throw reject(endpoint, Reason.CALLER_RATE);
+        }
+        if (!callerGuard.bulkhead.tryAcquire(limit.callerConcurrency())) {
+            throw reject(endpoint, Reason.CALLER_CONCURRENCY);
+        }
+        if (!endpointGuard.bucket.tryAcquire(limit.rate(), limit.burst())) {
+            callerGuard.bulkhead.release();
+            throw reject(endpoint, Reason.RATE);
+        }
+        if (!endpointGuard.bulkhead.tryAcquire(limit.concurrency())) {
+            callerGuard.bulkhead.release();
+            throw reject(endpoint, Reason.CONCURRENCY);
+        }
+        Bulkhead budget = write ? writeBudget : readBudget;
+        if (!budget.tryAcquire(write ? writeConcurrency : readConcurrency)) {
+            callerGuard.bulkhead.release();
+            endpointGuard.bulkhead.release();
+            throw reject(endpoint, Reason.BUDGET);
+        }
+        return new Permit(endpointGuard.bulkhead, callerGuard.bulkhead, budget);
+    }
+
+    /**
+     * 调整单个接口的限额
+     * 
+     * @param endpoint
+     * @param limit
+     */
+    public void updateLimit(String endpoint, EndpointLimit limit) {
+        limits.put(endpoint, limit);
+    }
+
+    /**
+     * 调整读/写连接预算
+     * 
+     * @param readConcurrency
+     * @param writeConcurrency
+     */
+    public void updateBudgets(int readConcurrency, int writeConcurrency) {
+        this.readConcurrency = readConcurrency;
+        this.writeConcurrency = writeConcurrency;
+    }
+
+    public Map<String, EndpointLimit> limits() {
+        return Map.copyOf(limits);
+    }
+
+    public int readConcurrency() {
+        return readConcurrency;
+    }
+
+    public int writeConcurrency() {
+        return writeConcurrency;
+    }
+
+    private Guard callerGuard(String endpoint, String caller) {
+        return callerGuards.computeIfAbsent(endpoint, key -> new CallerGuards()).get(caller);
+    }
+
+    private LimitExceededException reject(String endpoint, Reason reason) {
+        meterRegistry.counter("user.api.rejected", "endpoint", endpoint, "reason", reason.name()).increment();
+        return new LimitExceededException(endpoint, reason);
+    }
+
+    private static final class Guard {
+
+        private final TokenBucket bucket = new TokenBucket();
+
+        private final Bulkhead bulkhead = new Bulkhead();
+
+        private volatile long lastAccess = System.nanoTime();
+    }
+
+    /**
+     * 单个接口下各调用方的限额统计
+     * 
+     * 空闲的调用方按最后访问时间清理；仍然超过上限时，新调用方共用一组限额，避免统计数据无限增长。
+     */
+    private final class CallerGuards {
+
+        private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+        private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL);
+
+        Guard get(String caller) {
+            long now = System.nanoTime();
+            Guard guard = guards.get(caller);
+            if (guard == null) {
+                if (guards.size() >= properties.maxCallers()) {
+                    sweep(now);
+                }
+                String key = guards.size() >= properties.maxCallers() ? OVERFLOW_CALLER : caller;
+                guard = guards.computeIfAbsent(key, k -> new Guard());
+            }
+            guard.lastAccess = now;
+            return guard;
+        }
+
+        // 至多每秒清理一次，避免调用方数量已满时每个请求都遍历
+        private void sweep(long now) {
+            long last = lastSweep.get();
+            if (now - last < SWEEP_INTERVAL || !lastSweep.compareAndSet(last, now)) {
+                return;
+            }
+            long idleTimeout = properties.callerIdleTimeout().toNanos();
+            guards.values().removeIf(guard -> now - guard.lastAccess > idleTimeout && guard.bulkhead.inFlight() == 0);
+        }
+    }
+
+    /**
+     * 访问许可，重复释放无副作用
+     */
+    public static class Permit {
+
+        static final Permit NONE = new Permit();
+
+        private final Bulkhead[] bulkheads;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Bulkhead... bulkheads) {
+            this.bulkheads = bulkheads;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                for (Bulkhead bulkhead : bulkheads) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+}
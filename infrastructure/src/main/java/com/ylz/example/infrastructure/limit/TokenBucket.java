@@ -0,0 +1,41 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ * 
+ * 按 GCRA 实现：只记录下一个令牌的理论到达时间，一次 CAS 完成判断与扣减。
+ * 速率和容量在每次调用时传入，运行时调整配置后立即生效。
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    /**
+     * 尝试获取一个令牌
+     * 
+     * @param permitsPerSecond 每秒令牌数，小于等于 0 表示不限制
+     * @param burst            桶容量（允许的突发请求数）
+     * @return
+     */
+    public boolean tryAcquire(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            return true;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        long tolerance = interval * Math.max(1, burst);
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.ylz.example.infrastructure.limit.UserLimitProperties.EndpointLimit;
+
+/**
+ * 运行时查看与调整用户接口限额
+ * 
+ * 可修改限额，仅通过 JMX 暴露，不要加入 HTTP 端口的 exposure 配置。
+ */
+@Component
+@Endpoint(id = "userlimits")
+public class UserLimitEndpoint {
+
+    private final EndpointLimiter endpointLimiter;
+
+    public UserLimitEndpoint(EndpointLimiter endpointLimiter) {
+        this.endpointLimiter = endpointLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> limits() {
+        return Map.of(
+                "readConcurrency", endpointLimiter.readConcurrency(),
+                "writeConcurrency", endpointLimiter.writeConcurrency(),
+                "endpoints", endpointLimiter.limits());
+    }
+
+    @WriteOperation
+    public void updateBudgets(int readConcurrency, int writeConcurrency) {
+        endpointLimiter.updateBudgets(readConcurrency, writeConcurrency);
+    }
+
+    @WriteOperation
+    public void updateLimit(@Selector String endpoint, double rate, int burst, int concurrency,
+            double callerRate, int callerBurst, int callerConcurrency) {
+        endpointLimiter.updateLimit(endpoint,
+                new EndpointLimit(rate, burst, concurrency, callerRate, callerBurst, callerConcurrency));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.ylz.example.api.controller.UserController;
+import com.ylz.example.infrastructure.limit.EndpointLimiter.Permit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 用户接口限流拦截器
+ * 
+ * 许可在请求处理完成后释放；流式导出等异步请求在异步处理结束时释放。
+ */
+@Component
+public class UserLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = UserLimitInterceptor.class.getName() + ".permit";
+
+    private static final Pattern CALLER_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final EndpointLimiter endpointLimiter;
+
+    private final UserLimitProperties properties;
+
+    public UserLimitInterceptor(EndpointLimiter endpointLimiter, UserLimitProperties properties) {
+        this.endpointLimiter = endpointLimiter;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !UserController.class.isAssignableFrom(handlerMethod.getBeanType())
+                || request.getAttribute(PERMIT_ATTRIBUTE) != null) { // 异步请求再次分发时沿用已有许可
+            return true;
+        }
+        boolean write = isWrite(request.getMethod());
+        Permit permit = endpointLimiter.acquire(handlerMethod.getMethod().getName(), resolveCaller(request), write);
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    // 仅修改数据的请求占用写预算，HEAD/OPTIONS 等按读请求处理
+    private static boolean isWrite(String method) {
+        return HttpMethod.POST.matches(method) || HttpMethod.PUT.matches(method)
+                || HttpMethod.PATCH.matches(method) || HttpMethod.DELETE.matches(method);
+    }
+
+    // 客户端可随意设置请求头，仅在网关负责该请求头且格式合法时采用，否则按客户端地址区分
+    private String resolveCaller(HttpServletRequest request) {
+        if (properties.trustCallerHeader()) {
+            String caller = request.getHeader(properties.callerHeader());
+            if (caller != null && CALLER_PATTERN.matcher(caller).matches()) {
+                return caller;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.ylz.example.infrastructure.limit;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 用户接口限流与隔离配置
+ * 
+ * @param enabled           是否开启
+ * @param callerHeader      标识调用方的请求头
+ * @param trustCallerHeader 是否信任调用方请求头（需由网关设置或校验），否则按客户端地址区分调用方
+ * @param maxCallers        单接口最多单独统计的调用方数量，超出后共用一组限额
+ * @param callerIdleTimeout 调用方空闲超过该时长后清理其限额统计
+ * @param readConcurrency   读请求的并发预算
+ * @param writeConcurrency  写请求的并发预算，应小于连接池大小，为读请求保留连接
+ * @param endpoints         按接口方法名配置的限额，未配置的接口仅受读/写预算约束
+ */
+@ConfigurationProperties(prefix = "user.limit")
+public record UserLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Caller-Id") String callerHeader,
+        boolean trustCallerHeader,
+        @DefaultValue("10000") int maxCallers,
+        @DefaultValue("1m") Duration callerIdleTimeout,
+        @DefaultValue("64") int readConcurrency,
+        @DefaultValue("4") int writeConcurrency,
+        @DefaultValue Map<String, EndpointLimit> endpoints) {
+
+    /**
+     * 单个接口的限额，数值小于等于 0 表示不限制
+     * 
+     * @param rate              接口每秒请求数
+     * @param burst             接口允许的突发请求数
+     * @param concurrency       接口并发上限
+     * @param callerRate        单个调用方每秒请求数
+     * @param callerBurst       单个调用方允许的突发请求数
+     * @param callerConcurrency 单个调用方并发上限
+     */
+    public record EndpointLimit(
+            double rate,
+            int burst,
+            int concurrency,
+            double callerRate,
+            int callerBurst,
+            int callerConcurrency) {
+
+        public static final EndpointLimit UNLIMITED = new EndpointLimit(0, 0, 0, 0, 0, 0);
+    }
+}
@@ -1,32 +1,78 @@
 package com.ylz.example.infrastructure.repository;
 
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ylz.example.domain.user.User;
 import com.ylz.example.domain.user.UserId;
 import com.ylz.example.domain.user.UserRepository;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindBuffer;
+import com.ylz.example.infrastructure.cache.HotUserCache;
 import com.ylz.example.infrastructure.entity.UserEntity;
 import com.ylz.example.infrastructure.exception.UserNotFoundException;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public class UserRepositoryImpl implements UserRepository {
     private final JpaUserRepository jpaRepo; // Spring Data JPA接口
 
-    public UserRepositoryImpl(JpaUserRepository jpaRepo) {
+    private final EntityManager entityManager;
+
+    private final UserWriteBehindBuffer writeBehindBuffer;
+
+    private final HotUserCache hotUserCache;
+
+    public UserRepositoryImpl(JpaUserRepository jpaRepo, EntityManager entityManager,
+            UserWriteBehindBuffer writeBehindBuffer, HotUserCache hotUserCache) {
         this.jpaRepo = jpaRepo;
+        this.entityManager = entityManager;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.hotUserCache = hotUserCache;
     }
 
     @Override
     public User findById(UserId userId) {
-        return jpaRepo.findById(userId.value())
-            .map(this::toDomain) // 数据库实体 → 领域对象
-            .orElseThrow(() -> new UserNotFoundException(userId));
+        // 优先读取写回缓冲中尚未落库的值，其次是热点用户缓存
+        return writeBehindBuffer.pending(userId)
+            .orElseGet(() -> hotUserCache.get(userId, this::load));
     }
 
     @Override
     public User save(User user) {
-        return toDomain(jpaRepo.save(toEntity(user))); // 领域对象 → 数据库实体
+        User saved = toDomain(jpaRepo.save(toEntity(user))); // 领域对象 → 数据库实体
+        hotUserCache.updateAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * 流式查询需要在事务内保持连接；逐行脱离持久化上下文，保证内存占用恒定
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<User> consumer) {
+        try (Stream<UserEntity> entities = jpaRepo.streamAll()) {
+            entities.forEach(entity -> {
+                entityManager.detach(entity);
+                // 导出同样需要看到写回缓冲中尚未落库的值
+                UserId userId = new UserId(entity.getUserId());
+                consumer.accept(writeBehindBuffer.pending(userId).orElseGet(() -> toDomain(entity)));
+            });
+        }
+    }
+
+    private User load(UserId userId) {
+        return jpaRepo.findById(userId.value())
+            .map(this::toDomain) // 数据库实体 → 领域对象
+            .orElseThrow(() -> new UserNotFoundException(userId));
     }
 
     // 数据库实体与领域对象的转换（仅在基础设施层处理）
@@ -46,4 +92,18 @@ public class UserRepositoryImpl implements UserRepository {
 
 // Spring Data JPA接口（仅在基础设施层存在）
 interface JpaUserRepository extends JpaRepository<UserEntity, String> {
+
+    /**
+     * 流式读取全部用户
+     * 
+     * fetch size 为 Integer.MIN_VALUE 时 MySQL 驱动逐行返回结果，只作用于本查询，不影响连接池上的其他语句；
+     * 流未关闭前该连接不能执行其他查询。
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select u from UserEntity u where u.deleted = false")
+    Stream<UserEntity> streamAll();
 }
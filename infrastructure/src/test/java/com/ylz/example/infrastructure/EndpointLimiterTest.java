@@ -0,0 +1,166 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.ylz.example.infrastructure.exception.LimitExceededException;
+import com.ylz.example.infrastructure.exception.LimitExceededException.Reason;
+import com.ylz.example.infrastructure.limit.EndpointLimiter;
+import com.ylz.example.infrastructure.limit.EndpointLimiter.Permit;
+import com.ylz.example.infrastructure.limit.UserLimitProperties;
+import com.ylz.example.infrastructure.limit.UserLimitProperties.EndpointLimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EndpointLimiterTest {
+
+    private static final int POOL_SIZE = 10;
+
+    private static final int WRITERS = 32;
+
+    private static final int READS = 200;
+
+    private static UserLimitProperties properties() {
+        return new UserLimitProperties(true, "X-Caller-Id", false, 100, Duration.ofMinutes(1), 64, 4, Map.of());
+    }
+
+    /**
+     * 测试接口速率超过令牌桶容量后被拒绝，运行时调整后立即生效
+     */
+    @Test
+    void testRateLimit() {
+        EndpointLimiter limiter = new EndpointLimiter(
+                properties(), new SimpleMeterRegistry());
+        limiter.updateLimit("createUser", new EndpointLimit(1, 2, 0, 0, 0, 0));
+
+        limiter.acquire("createUser", "a", true).release();
+        limiter.acquire("createUser", "b", true).release();
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> limiter.acquire("createUser", "c", true));
+        assertEquals(Reason.RATE, e.getReason());
+
+        limiter.updateLimit("createUser", EndpointLimit.UNLIMITED);
+        limiter.acquire("createUser", "c", true).release();
+    }
+
+    /**
+     * 测试单个调用方被自身限额拒绝时不消耗接口共享额度，其他调用方不受影响
+     */
+    @Test
+    void testHotCallerDoesNotStarveOthers() {
+        EndpointLimiter limiter = new EndpointLimiter(properties(), new SimpleMeterRegistry());
+        limiter.updateLimit("updateNickname", new EndpointLimit(200, 50, 0, 10, 10, 0));
+
+        int rejected = 0;
+        for (int i = 0; i < 1000; i++) {
+            try {
+                limiter.acquire("updateNickname", "importer", true).release();
+            } catch (LimitExceededException e) {
+                assertEquals(Reason.CALLER_RATE, e.getReason());
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 900, "导入方应被自身限额拒绝");
+
+        // 另一个调用方的突发请求全部通过
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("updateNickname", "editor", true).release();
+        }
+    }
+
+    /**
+     * 测试写请求洪峰期间读请求耗时保持平稳：写请求受连接预算约束，无法占满连接池
+     */
+    @Test
+    void testReadLatencyFlatDuringWriteFlood() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EndpointLimiter limiter = new EndpointLimiter(
+                properties(), meterRegistry);
+        // 模拟数据库连接池
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+
+        long baseline = p99(measureReads(limiter, connections));
+
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        for (int i = 0; i < WRITERS; i++) {
+            writers.execute(() -> {
+                while (flooding.get()) {
+                    try {
+                        Permit permit = limiter.acquire("createUser", "importer", true);
+                        try {
+                            useConnection(connections, 50); // 慢写入
+                        } finally {
+                            permit.release();
+                        }
+                    } catch (LimitExceededException e) {
+                        sleep(1);
+                    }
+                }
+            });
+        }
+        long flood;
+        try {
+            sleep(100); // 等待写请求占满预算
+            flood = p99(measureReads(limiter, connections));
+        } finally {
+            flooding.set(false);
+            writers.shutdown();
+            assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(flood < baseline + TimeUnit.MILLISECONDS.toNanos(20),
+                "写洪峰期间读请求 p99 不应明显上升：基线 " + baseline / 1000 + " us，洪峰 " + flood / 1000 + " us");
+        assertTrue(meterRegistry.counter("user.api.rejected", "endpoint", "createUser", "reason", "BUDGET").count() > 0);
+    }
+
+    private List<Long> measureReads(EndpointLimiter limiter, Semaphore connections) {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            Permit permit = limiter.acquire("getUser", "reader", false);
+            try {
+                useConnection(connections, 2);
+            } finally {
+                permit.release();
+            }
+            latencies.add(System.nanoTime() - start);
+        }
+        return latencies;
+    }
+
+    private static void useConnection(Semaphore connections, long millis) {
+        connections.acquireUninterruptibly();
+        try {
+            sleep(millis);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static long p99(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ylz.example.infrastructure.datasource.HikariPoolTuner;
+import com.ylz.example.infrastructure.datasource.MonitoredDataSource;
+import com.ylz.example.infrastructure.datasource.PoolSaturationEvent;
+import com.ylz.example.infrastructure.datasource.PoolTuningProperties;
+import com.ylz.example.infrastructure.exception.PoolSaturatedException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 基于内嵌数据库的连接池压测
+ */
+class HikariPoolTunerTest {
+
+    private static final int THREADS = 16;
+
+    /**
+     * 测试连接池饱和时快速拒绝、发布饱和事件并扩容
+     */
+    @Test
+    void testShedAndGrowUnderLoad() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HikariDataSource hikari = new HikariDataSource();
+        // 与 Spring Boot 一致，由 Hikari 发布 hikaricp.connections.* 指标
+        hikari.setMetricRegistry(meterRegistry);
+        hikari.setJdbcUrl("jdbc:h2:mem:tuning;DB_CLOSE_DELAY=-1");
+        hikari.setMaximumPoolSize(2);
+        hikari.setMinimumIdle(1);
+        hikari.setConnectionTimeout(20000);
+        // 先启动连接池，否则并发的首批请求在连接池创建前无法判断饱和
+        hikari.getConnection().close();
+
+        // 较长的采样间隔，由测试手动触发调整
+        PoolTuningProperties properties = new PoolTuningProperties(true, 2, 8, 2,
+                Duration.ofHours(1), Duration.ofMillis(10), Duration.ofMillis(500), 4);
+        MonitoredDataSource dataSource = new MonitoredDataSource(hikari, properties.maxWaiters());
+        List<Object> events = new CopyOnWriteArrayList<>();
+        HikariPoolTuner tuner = new HikariPoolTuner(dataSource, properties, events::add, meterRegistry);
+
+        AtomicInteger shed = new AtomicInteger();
+        List<Long> shedMillis = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        start.await();
+                        begin = System.nanoTime();
+                        try (Connection connection = dataSource.getConnection();
+                                Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                            Thread.sleep(200); // 模拟慢查询占用连接
+                        }
+                    } catch (PoolSaturatedException e) {
+                        shed.incrementAndGet();
+                        shedMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            // 超出等待上限的请求被立即拒绝，而不是等待 20 秒连接超时
+            assertTrue(shed.get() > 0, "饱和时应拒绝部分请求");
+            shedMillis.forEach(millis -> assertTrue(millis < 1000, "拒绝应快速返回：" + millis + " ms"));
+
+            tuner.tick();
+
+            // 获取耗时超过目标，连接池上限按步长扩容，并发布饱和事件
+            assertEquals(4, hikari.getMaximumPoolSize());
+            assertTrue(events.stream().anyMatch(PoolSaturationEvent.class::isInstance));
+        } finally {
+            tuner.shutdown();
+            hikari.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
+import com.ylz.example.infrastructure.cache.HotUserCache;
+import com.ylz.example.infrastructure.cache.HotUserProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HotUserCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HotUserCache cache(Duration refreshAfter) {
+        return cache(refreshAfter, Duration.ofMinutes(5));
+    }
+
+    private HotUserCache cache(Duration refreshAfter, Duration expireAfter) {
+        HotUserProperties properties = new HotUserProperties(true, 3, 10, 1024, refreshAfter,
+                expireAfter, tempDir.resolve("hot-users.snapshot"), Duration.ofHours(1), 10);
+        return new HotUserCache(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 测试访问频率达到阈值后由本地缓存返回，不再回源
+     */
+    @Test
+    void testPinHotUser() {
+        HotUserCache cache = cache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Function<UserId, User> loader = id -> {
+            loads.incrementAndGet();
+            return new User(id, "celebrity", "");
+        };
+        UserId userId = new UserId("HOT_1");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("celebrity", cache.get(userId, loader).getNickname());
+        }
+
+        // 前 3 次回源，达到阈值后缓存
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * 测试缓存到达刷新时间后，访问返回旧值并在后台刷新
+     */
+    @Test
+    void testRefreshAhead() throws InterruptedException {
+        HotUserCache cache = cache(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Function<UserId, User> loader = id -> new User(id, "v" + loads.incrementAndGet(), "");
+        UserId userId = new UserId("HOT_2");
+        cache.pin(new User(userId, "v0", ""));
+
+        assertEquals("v0", cache.get(userId, loader).getNickname());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loads.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * 测试热点快照保存后可被下一个实例读取
+     */
+    @Test
+    void testSnapshotRoundTrip() throws Exception {
+        HotUserCache previous = cache(Duration.ofMinutes(1));
+        previous.pin(new User(new UserId("HOT_3"), "a", ""));
+        previous.pin(new User(new UserId("HOT_4"), "b", ""));
+        previous.saveSnapshot();
+
+        List<UserId> snapshot = cache(Duration.ofMinutes(1)).loadSnapshot();
+
+        assertEquals(2, snapshot.size());
+        assertTrue(snapshot.contains(new UserId("HOT_3")));
+        assertTrue(snapshot.contains(new UserId("HOT_4")));
+    }
+
+    /**
+     * 测试过期的热点用户在保存快照时被移除，不写入快照
+     */
+    @Test
+    void testSnapshotSkipsExpired() throws Exception {
+        HotUserCache previous = cache(Duration.ofHours(1), Duration.ofMillis(50));
+        previous.pin(new User(new UserId("COLD_1"), "a", ""));
+        Thread.sleep(100);
+        previous.pin(new User(new UserId("HOT_5"), "b", ""));
+        previous.saveSnapshot();
+
+        assertEquals(1, previous.size());
+        assertEquals(List.of(new UserId("HOT_5")), cache(Duration.ofMinutes(1)).loadSnapshot());
+    }
+}
@@ -0,0 +1,119 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import com.ylz.example.application.dto.UpdateNickanmeRequest;
+import com.ylz.example.application.service.UserAppService;
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
+import com.ylz.example.domain.user.UserRepository;
+import com.ylz.example.infrastructure.adapter.UserAppServiceAdpter;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindBuffer;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindProperties;
+import com.ylz.example.infrastructure.cache.HotUserCache;
+import com.ylz.example.infrastructure.cache.HotUserProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserAppServiceAdpterTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 仓储只读写热点缓存，不访问数据库
+     */
+    static class CachedUserRepository implements UserRepository {
+
+        final HotUserCache hotUserCache;
+
+        CachedUserRepository(HotUserCache hotUserCache) {
+            this.hotUserCache = hotUserCache;
+        }
+
+        @Override
+        public User findById(UserId userId) {
+            return hotUserCache.get(userId, id -> {
+                throw new AssertionError("缓存未命中: " + id.value());
+            });
+        }
+
+        @Override
+        public User save(User user) {
+            hotUserCache.update(user);
+            return user;
+        }
+
+        @Override
+        public void forEach(Consumer<User> consumer) {
+        }
+    }
+
+    /**
+     * 按 Spring 的事务代理包装适配层，并统计获取连接的次数
+     */
+    private UserAppService proxy(UserAppServiceAdpter target, DataSource dataSource) {
+        TransactionInterceptor interceptor = new TransactionInterceptor(
+                new DataSourceTransactionManager(dataSource), new AnnotationTransactionAttributeSource());
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (UserAppService) proxyFactory.getProxy();
+    }
+
+    /**
+     * 测试热点缓存命中时查询不获取数据库连接，而写操作仍在事务中执行
+     */
+    @Test
+    void testCacheHitAcquiresNoConnection() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:adapter;DB_CLOSE_DELAY=-1");
+        AtomicInteger connections = new AtomicInteger();
+        DataSource dataSource = new DelegatingDataSource(h2) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                connections.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+
+        HotUserCache hotUserCache = new HotUserCache(new HotUserProperties(true, 1, 10, 1024,
+                Duration.ofMinutes(1), Duration.ofMinutes(5), tempDir.resolve("hot-users.snapshot"), Duration.ofHours(1), 10),
+                new SimpleMeterRegistry());
+        UserId userId = new UserId("HOT_1");
+        hotUserCache.pin(new User(userId, "celebrity", ""));
+        UserWriteBehindBuffer writeBehindBuffer = new UserWriteBehindBuffer(
+                new UserWriteBehindProperties(false, 1, 10, 100, Duration.ofHours(1)),
+                new JdbcTemplate(), new SimpleMeterRegistry());
+        UserAppService service = proxy(
+                new UserAppServiceAdpter(new CachedUserRepository(hotUserCache), writeBehindBuffer, hotUserCache),
+                dataSource);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("celebrity", service.getUserById("HOT_1").nickname());
+        }
+        assertEquals(0, connections.get());
+
+        service.updateUserNickname(new UpdateNickanmeRequest("HOT_1", "renamed"));
+        assertEquals(1, connections.get());
+    }
+}
@@ -1,5 +1,10 @@
 package com.ylz.example.infrastructure;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.ylz.example.api.controller.UserController;
 import com.ylz.example.application.dto.CreateUserRequest;
+import com.ylz.example.application.dto.UserResponse;
 
 @SpringBootTest
 @Transactional
@@ -24,4 +30,17 @@ public class UserControllerTest {
         userController.createUser(request);
     }
 
+    @Test
+    @Rollback(true)
+    void testExportUsers() throws Exception {
+        UserResponse created = userController.createUser(new CreateUserRequest("导出", "")).getBody();
+
+        // 流式写出的结果应包含刚创建的用户
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userController.exportUsers().getBody().writeTo(out);
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("["));
+        assertTrue(json.contains(created.userId()));
+    }
+
 }
@@ -0,0 +1,155 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ylz.example.application.dto.CreateUserRequest;
+import com.ylz.example.application.dto.UpdateNickanmeRequest;
+import com.ylz.example.application.dto.UserResponse;
+import com.ylz.example.application.service.UserAppService;
+import com.ylz.example.infrastructure.controller.GlobalExceptionHandler;
+import com.ylz.example.infrastructure.controller.UserControllerImpl;
+import com.ylz.example.infrastructure.exception.LimitExceededException;
+import com.ylz.example.infrastructure.exception.LimitExceededException.Reason;
+import com.ylz.example.infrastructure.exception.PoolSaturatedException;
+import com.ylz.example.infrastructure.limit.EndpointLimiter;
+import com.ylz.example.infrastructure.limit.UserLimitInterceptor;
+import com.ylz.example.infrastructure.limit.UserLimitProperties;
+import com.ylz.example.infrastructure.limit.UserLimitProperties.EndpointLimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserLimitInterceptorTest {
+
+    /**
+     * 不访问数据库的应用服务，SATURATED 用户模拟连接池饱和
+     */
+    static class StubUserAppService implements UserAppService {
+
+        @Override
+        public UserResponse getUserById(String userId) {
+            if ("SATURATED".equals(userId)) {
+                throw new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+                        new PoolSaturatedException(10, 10, 20));
+            }
+            return new UserResponse(userId, "stub", "");
+        }
+
+        @Override
+        public UserResponse createUser(CreateUserRequest command) {
+            return new UserResponse("NEW", command.nickname(), command.avatar());
+        }
+
+        @Override
+        public void updateUserNickname(UpdateNickanmeRequest command) {
+        }
+
+        @Override
+        public void exportUsers(Consumer<UserResponse> consumer) {
+            consumer.accept(new UserResponse("USER_1", "stub", ""));
+        }
+    }
+
+    private EndpointLimiter limiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        UserLimitProperties properties = new UserLimitProperties(true, "X-Caller-Id", false, 100,
+                Duration.ofMinutes(1), 64, 4, Map.of(
+                        "getUser", new EndpointLimit(0, 0, 0, 0, 0, 0),
+                        "exportUsers", new EndpointLimit(0, 0, 1, 0, 0, 0)));
+        limiter = new EndpointLimiter(properties, new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UserControllerImpl(new StubUserAppService(), new ObjectMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addMappedInterceptors(new String[] { "/api/v1/users/**" },
+                        new UserLimitInterceptor(limiter, properties))
+                .build();
+    }
+
+    /**
+     * 测试速率超限返回 429，并发超限返回 503，均带 Retry-After
+     */
+    @Test
+    void testRejectWithRetryAfter() throws Exception {
+        limiter.updateLimit("getUser", new EndpointLimit(1, 1, 0, 0, 0, 0));
+        mockMvc.perform(get("/api/v1/users/USER_1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/users/USER_1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        limiter.updateLimit("getUser", new EndpointLimit(0, 0, 1, 0, 0, 0));
+        EndpointLimiter.Permit held = limiter.acquire("getUser", "other", false);
+        try {
+            mockMvc.perform(get("/api/v1/users/USER_1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            held.release();
+        }
+        // 请求结束后许可已释放
+        mockMvc.perform(get("/api/v1/users/USER_1")).andExpect(status().isOk());
+    }
+
+    /**
+     * 测试连接池饱和时返回 503 与 Retry-After
+     */
+    @Test
+    void testPoolSaturated() throws Exception {
+        mockMvc.perform(get("/api/v1/users/SATURATED"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    /**
+     * 测试写预算耗尽时 HEAD 请求按读请求放行
+     */
+    @Test
+    void testHeadIsRead() throws Exception {
+        limiter.updateBudgets(64, 1);
+        EndpointLimiter.Permit write = limiter.acquire("updateNickname", "other", true);
+        try {
+            mockMvc.perform(head("/api/v1/users/USER_1")).andExpect(status().isOk());
+        } finally {
+            write.release();
+        }
+    }
+
+    /**
+     * 测试流式导出的许可在异步处理结束后才释放
+     */
+    @Test
+    void testExportPermitReleasedAfterAsyncDispatch() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // 异步写出期间仍占用导出并发名额
+        LimitExceededException e = assertThrows(LimitExceededException.class,
+                () -> limiter.acquire("exportUsers", "other", false));
+        assertEquals(Reason.CONCURRENCY, e.getReason());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        limiter.acquire("exportUsers", "other", false).release();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ylz.example.infrastructure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.ylz.example.domain.user.User;
+import com.ylz.example.domain.user.UserId;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindBuffer;
+import com.ylz.example.infrastructure.buffer.UserWriteBehindProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserWriteBehindBufferTest {
+
+    /**
+     * 记录批量写入内容，不访问数据库
+     */
+    static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        final List<Object> written = new ArrayList<>();
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                ParameterizedPreparedStatementSetter<T> pss) {
+            written.addAll(batchArgs);
+            return new int[0][];
+        }
+    }
+
+    /**
+     * 批量写入失败，逐条写入时 USER_2 失败（模拟入队校验无法发现的错误）
+     */
+    static class FailingJdbcTemplate extends RecordingJdbcTemplate {
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                ParameterizedPreparedStatementSetter<T> pss) {
+            throw new DataIntegrityViolationException("Data too long for column 'nickname'");
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if ("USER_2".equals(args[2])) {
+                throw new DataIntegrityViolationException("Data too long for column 'nickname'");
+            }
+            written.add(args[2]);
+            return 1;
+        }
+    }
+
+    private UserWriteBehindBuffer buffer(RecordingJdbcTemplate jdbcTemplate, int capacityPerStripe) {
+        // 较长的刷写间隔，由测试手动触发刷写
+        UserWriteBehindProperties properties = new UserWriteBehindProperties(
+                true, 1, capacityPerStripe, 100, Duration.ofHours(1));
+        return new UserWriteBehindBuffer(properties, jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 测试同一用户的多次更新只保留最后一次，且刷写前可读到最新值
+     */
+    @Test
+    void testCoalesceAndReadPending() {
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        UserWriteBehindBuffer buffer = buffer(jdbcTemplate, 10);
+        UserId userId = new UserId("USER_1");
+
+        assertTrue(buffer.offer(new User(userId, "first", "a.png")));
+        assertTrue(buffer.offer(new User(userId, "second", "a.png")));
+
+        assertEquals(1, buffer.depth());
+        assertEquals("second", buffer.pending(userId).orElseThrow().getNickname());
+
+        buffer.flush();
+
+        assertEquals(1, jdbcTemplate.written.size());
+        assertEquals("second", ((User) jdbcTemplate.written.get(0)).getNickname());
+        assertEquals(0, buffer.depth());
+        assertTrue(buffer.pending(userId).isEmpty());
+    }
+
+    /**
+     * 测试分段写满后拒绝新用户，由调用方回退为同步写
+     */
+    @Test
+    void testRejectWhenFull() {
+        UserWriteBehindBuffer buffer = buffer(new RecordingJdbcTemplate(), 1);
+
+        assertTrue(buffer.offer(new User(new UserId("USER_1"), "a", "")));
+        assertFalse(buffer.offer(new User(new UserId("USER_2"), "b", "")));
+        // 已在缓冲中的用户仍可覆盖
+        assertTrue(buffer.offer(new User(new UserId("USER_1"), "c", "")));
+    }
+
+    /**
+     * 测试单条数据写入失败时丢弃该条，其余数据正常写入且缓冲清空
+     */
+    @Test
+    void testDropFailedRow() {
+        FailingJdbcTemplate jdbcTemplate = new FailingJdbcTemplate();
+        UserWriteBehindBuffer buffer = buffer(jdbcTemplate, 10);
+
+        buffer.offer(new User(new UserId("USER_1"), "ok", ""));
+        buffer.offer(new User(new UserId("USER_2"), "broken", ""));
+
+        buffer.flush();
+
+        assertEquals(List.of("USER_1"), jdbcTemplate.written);
+        assertEquals(0, buffer.depth());
+        assertTrue(buffer.pending(new UserId("USER_2")).isEmpty());
+    }
+
+    /**
+     * 测试超出字段长度的数据不进入缓冲，由调用方同步写库并得到错误
+     */
+    @Test
+    void testRejectUnwritableRow() {
+        UserWriteBehindBuffer buffer = buffer(new RecordingJdbcTemplate(), 10);
+
+        assertFalse(buffer.offer(new User(new UserId("USER_1"), "x".repeat(51), "")));
+        assertFalse(buffer.offer(new User(new UserId("USER_1"), null, "")));
+        assertTrue(buffer.offer(new User(new UserId("USER_1"), "昵".repeat(50), "")));
+    }
+}
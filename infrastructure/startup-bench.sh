@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# 启动基准：测量进程启动到 GET /api/v1/users/{id} 首次成功的耗时，以及此时的常驻内存（RSS）
+# 依次对比普通启动与快速启动（AOT + CDS + 延迟初始化），需要可访问的数据库及已存在的用户
+#
+# 用法：./startup-bench.sh <userId> [轮数]
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+USER_ID=${1:?用法: ./startup-bench.sh <userId> [轮数]}
+ROUNDS=${2:-5}
+PORT=${PORT:-8080}
+NAME=ylz-example-infrastructure-1.0.0-SNAPSHOT
+WORK=target/startup-bench
+APP=$WORK/$NAME.jar
+
+# 1. 使用 fast-startup 构建（包含 AOT 产物），并解压为适合 CDS 的目录结构
+mvn -B -q -f ../pom.xml -Pfast-startup -pl infrastructure -am package -DskipTests
+rm -rf "$WORK"
+java -Djarmode=tools -jar "target/$NAME.jar" extract --destination "$WORK"
+
+# 2. 训练运行：上下文刷新完成后退出，生成 CDS 归档
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -Dspring.context.exit=onRefresh \
+    -jar "$APP" > "$WORK/training.log" 2>&1
+
+measure() {
+    local label=$1
+    shift
+    for round in $(seq 1 "$ROUNDS"); do
+        local start pid elapsed rss
+        start=$(date +%s%N)
+        java "$@" -jar "$APP" --server.port="$PORT" > "$WORK/$label-$round.log" 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/v1/users/$USER_ID"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$label 第 $round 轮启动失败，日志：$WORK/$label-$round.log" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+        kill "$pid"
+        wait "$pid" || true
+        echo "$label 第 $round 轮：首个请求成功 ${elapsed} ms，RSS ${rss} KB"
+    done
+}
+
+measure default
+measure fast-startup -XX:SharedArchiveFile="$WORK/app.jsa" \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup